@@ -0,0 +1,87 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Compares positions/sec of the batch bitboard kernel (BatchEvaluator) with the per-position
+// path the bot uses (ThreatAnalyzer + Connect4Bot.heuristic on a GameState), after checking
+// that both give the same scores and win flags for every position.
+//
+// Usage: java BatchBenchmark [positions] [seed]
+public class BatchBenchmark {
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 10;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        Random random = new Random(args.length > 1 ? Long.parseLong(args[1]) : 42);
+
+        // Random game positions, cut off at a random point (finished games included)
+        List<GameState> states = new ArrayList<>();
+        long[] red = new long[count];
+        long[] yellow = new long[count];
+        for (int i = 0; i < count; i++) {
+            GameState state = new GameState();
+            int moves = random.nextInt(43);
+            while (state.getMoveCount() < moves && !state.getGameOver()) {
+                state.move(1 + random.nextInt(7));
+            }
+            Position position = state.snapshot();
+            states.add(state);
+            red[i] = position.getRedBits();
+            yellow[i] = position.getYellowBits();
+        }
+
+        int[] scores = new int[count];
+        byte[] winFlags = new byte[count];
+        BatchEvaluator.evaluate(red, yellow, count, scores, winFlags);
+        for (int i = 0; i < count; i++) {
+            GameState state = states.get(i);
+            int expected = Connect4Bot.heuristic(new ThreatAnalyzer(state));
+            byte expectedFlags = (byte) ((state.getRedWins() ? BatchEvaluator.RED_WINS : 0)
+                    | (state.getYellowWins() ? BatchEvaluator.YELLOW_WINS : 0));
+            if (scores[i] != expected || winFlags[i] != expectedFlags) {
+                throw new IllegalStateException("Mismatch at position " + i + ": batch " + scores[i] + "/" + winFlags[i]
+                        + ", scalar " + expected + "/" + expectedFlags);
+            }
+        }
+        System.out.println("Checked " + count + " positions: batch and scalar results match");
+
+        double scalar = measure(() -> {
+            long sum = 0;
+            for (GameState state : states) {
+                sum += Connect4Bot.heuristic(new ThreatAnalyzer(state));
+            }
+            return sum;
+        }, count);
+        double batch = measure(() -> {
+            BatchEvaluator.evaluate(red, yellow, count, scores, winFlags);
+            long sum = 0;
+            for (int score : scores) sum += score;
+            return sum;
+        }, count);
+
+        System.out.printf("scalar (GameState + ThreatAnalyzer): %,12.0f positions/s%n", scalar);
+        System.out.printf("batch  (BatchEvaluator bitboards):   %,12.0f positions/s%n", batch);
+        System.out.printf("speedup: %.1fx%n", batch / scalar);
+    }
+
+    private interface Workload {
+        long run();
+    }
+
+    // Median positions/sec over the measured iterations; the checksum keeps the JIT from dropping the work
+    private static double measure(Workload workload, int count) {
+        long checksum = 0;
+        double[] rates = new double[ITERATIONS];
+        for (int i = 0; i < WARMUP_ITERATIONS + ITERATIONS; i++) {
+            long start = System.nanoTime();
+            checksum += workload.run();
+            long elapsed = System.nanoTime() - start;
+            if (i >= WARMUP_ITERATIONS) rates[i - WARMUP_ITERATIONS] = count * 1e9 / elapsed;
+        }
+        if (checksum == 42) System.out.println();
+        Arrays.sort(rates);
+        return rates[ITERATIONS / 2];
+    }
+}
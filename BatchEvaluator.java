@@ -0,0 +1,78 @@
+// Evaluates many independent positions at once, for offline work such as labelling
+// datasets or self-play statistics. Positions are given as bitboards in Position's layout.
+// Every step works on all 42 cells of a board in one long operation, so there is no
+// GameState, no boxing and no branching per cell. The score is exactly Connect4Bot.heuristic.
+public class BatchEvaluator {
+    // Flags written to winFlags
+    public static final byte RED_WINS = 1;
+    public static final byte YELLOW_WINS = 2;
+
+    // Bit distance between neighbouring cells of a window: vertical, horizontal, diagonal ( \ ), diagonal ( / )
+    private static final int[] DIRECTIONS = {1, 7, 6, 8};
+    // For every direction, the cells where a window of 4 starts and stays on the board
+    private static final long[] WINDOW_STARTS = windowStarts();
+
+    // Rows 1, 3, 5 and rows 2, 4, 6, counting from 1 at the bottom
+    private static final long ODD_ROWS = Position.BOTTOM * 0b010101;
+    private static final long EVEN_ROWS = Position.BOTTOM * 0b101010;
+
+    // Scores positions 0..count-1 (from Yellow's point of view) and flags who has four in a row
+    public static void evaluate(long[] red, long[] yellow, int count, int[] scores, byte[] winFlags) {
+        for (int i = 0; i < count; i++) {
+            long r = red[i];
+            long y = yellow[i];
+            scores[i] = score(r, y);
+            winFlags[i] = (byte) ((Position.isWin(r) ? RED_WINS : 0) | (Position.isWin(y) ? YELLOW_WINS : 0));
+        }
+    }
+
+    public static int score(long red, long yellow) {
+        int score = 0;
+        for (int k = 0; k < DIRECTIONS.length; k++) {
+            score += windowScore(yellow, red, DIRECTIONS[k], WINDOW_STARTS[k]);
+            score -= windowScore(red, yellow, DIRECTIONS[k], WINDOW_STARTS[k]);
+        }
+
+        long mask = red | yellow;
+        long redThreats = Position.winningCells(red, mask);
+        long yellowThreats = Position.winningCells(yellow, mask);
+        score += Connect4Bot.GOOD_THREAT_SCORE * Long.bitCount(yellowThreats & EVEN_ROWS)
+                + Connect4Bot.OTHER_THREAT_SCORE * Long.bitCount(yellowThreats & ODD_ROWS);
+        score -= Connect4Bot.GOOD_THREAT_SCORE * Long.bitCount(redThreats & ODD_ROWS)
+                + Connect4Bot.OTHER_THREAT_SCORE * Long.bitCount(redThreats & EVEN_ROWS);
+        return score;
+    }
+
+    // Scores the windows in one direction that hold 3 or 2 of own's pieces and none of other's.
+    // Bit s of the shifted boards is cell k of the window starting at s, so adding them up
+    // bit by bit counts the pieces of every window at once.
+    private static int windowScore(long own, long other, int d, long starts) {
+        long open = starts & ~(other | other >>> d | other >>> 2 * d | other >>> 3 * d);
+
+        long a = own, b = own >>> d, c = own >>> 2 * d, e = own >>> 3 * d;
+        long sum1 = a ^ b, carry1 = a & b;
+        long sum2 = c ^ e, carry2 = c & e;
+        long ones = sum1 ^ sum2;          // lowest bit of the count
+        long carry3 = sum1 & sum2;        // never set together with carry1 or carry2
+        // the count is 2 or 3 when exactly one pair was carried (carry1 and carry2 together means 4)
+        long twoOrThree = (carry1 | carry2 | carry3) & ~(carry1 & carry2);
+
+        return Connect4Bot.THREE_SCORE * Long.bitCount(open & twoOrThree & ones)
+                + Connect4Bot.TWO_SCORE * Long.bitCount(open & twoOrThree & ~ones);
+    }
+
+    private static long[] windowStarts() {
+        int[][] steps = {{0, 1}, {1, 0}, {1, -1}, {1, 1}}; // {dc, dr} for each direction
+        long[] starts = new long[steps.length];
+        for (int k = 0; k < steps.length; k++) {
+            for (int c = 0; c < 7; c++) {
+                for (int r = 0; r < 6; r++) {
+                    int endCol = c + 3 * steps[k][0];
+                    int endRow = r + 3 * steps[k][1];
+                    if (endCol < 7 && endRow >= 0 && endRow < 6) starts[k] |= 1L << (c * 7 + r);
+                }
+            }
+        }
+        return starts;
+    }
+}
@@ -1,5 +1,7 @@
 import java.awt.*;
 import java.awt.geom.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import javax.swing.*;
 
@@ -25,6 +27,30 @@ public class BoardDrawing extends JComponent {
     // Derived dimensions
     final int BOARD_WIDTH = (HOLE_DIAMETER * 7) + (HOLE_GAP * 6) + (PADDING * 2);
     final int BOARD_HEIGHT = (HOLE_DIAMETER * 6) + (HOLE_GAP * 5) + (PADDING * 2);
+
+    // Drop animation
+    private static final int FPS = 60;
+    private static final double GRAVITY = 0.005; // pixels per ms^2, a full column takes ~400ms
+    private static final boolean PRINT_FRAME_STATS = System.getProperty("connect4.frameStats") != null;
+    private final Timer dropTimer;
+    private FrameStats frameStats = new FrameStats(FPS); // of the current drop, or the last one once it landed
+    // {col, row, 1 for red} of moves waiting for the falling disc to land; they fall one after another
+    private final ArrayDeque<int[]> pendingDrops = new ArrayDeque<>();
+    private int dropCol = -1; // column of the falling disc, -1 when nothing is falling
+    private int dropRow;
+    private boolean dropIsRed;
+    private double dropY;
+    private long dropStart;
+
+    // Latest analysis from the bot, null when there is nothing to show
+    private SearchHint hint;
+    private boolean hintSearching; // the arrow is only shown while the search is still running
+
+    // Board body and empty holes never change, so they are rendered once per screen,
+    // in device pixels so a scaled (HiDPI) display stays sharp
+    private BufferedImage boardCache;
+    private GraphicsConfiguration boardCacheConfig;
+    private double boardCacheScaleX, boardCacheScaleY;
     
     public BoardDrawing(GameState gs) {
         state = gs;
@@ -51,12 +77,98 @@ public class BoardDrawing extends JComponent {
         
         // Enforce size for layout managers
         this.setMinimumSize(this.getPreferredSize());
+
+        // Swing timer fires on the EDT, so the animation never touches the state from another thread
+        dropTimer = new Timer(1000 / FPS, e -> stepDrop());
+        dropTimer.setCoalesce(true);
+    }
+
+    // Animates the last move of the game state falling into place.
+    // The state has already been updated, the falling piece is only hidden until it lands.
+    // If a disc is still falling (e.g. the bot answered quickly), this one follows when it lands.
+    public void animateDrop() {
+        Position position = state.snapshot();
+        if (position.getMoveCount() == 0) {
+            repaint();
+            return;
+        }
+        int col = position.getMove(position.getMoveCount() - 1);
+        int row = position.getHeight(col) - 1;
+        pendingDrops.add(new int[]{col, row, position.getPiece(col, row) ? 1 : 0});
+        if (dropCol == -1) startNextDrop();
+        repaint(); // status message changes with the move
+    }
+
+    // Stops any running animation and shows the board as it is, e.g. after Undo or Restart
+    public void cancelAnimation() {
+        dropTimer.stop();
+        pendingDrops.clear();
+        dropCol = -1;
+        repaint();
+    }
+
+    public boolean isAnimating() {
+        return dropCol != -1;
+    }
+
+    public void setSearchHint(SearchHint hint, boolean searching) {
+        this.hint = hint;
+        this.hintSearching = searching;
+        repaint();
+    }
+
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+
+    private void startNextDrop() {
+        int[] drop = pendingDrops.poll();
+        dropCol = drop[0];
+        dropRow = drop[1];
+        dropIsRed = drop[2] == 1;
+        dropY = -HOLE_DIAMETER; // starts just above the board
+        dropStart = System.nanoTime();
+        // every drop gets its own measurement, so a queued drop never wipes out the previous one
+        frameStats = new FrameStats(FPS);
+        frameStats.reset();
+        dropTimer.restart();
+    }
+
+    private void stepDrop() {
+        long now = System.nanoTime();
+        frameStats.tick(now);
+
+        double elapsedMs = (now - dropStart) / 1e6;
+        double previousY = dropY;
+        double targetY = holes.get(dropCol * 6 + dropRow).y;
+        dropY = Math.min(-HOLE_DIAMETER + 0.5 * GRAVITY * elapsedMs * elapsedMs, targetY);
+
+        // Only the strip the disc moved through needs repainting
+        repaintColumn(dropCol, previousY, dropY);
+
+        if (dropY >= targetY) {
+            dropTimer.stop();
+            dropCol = -1;
+            if (PRINT_FRAME_STATS) System.out.println("Drop animation: " + frameStats);
+            if (!pendingDrops.isEmpty()) startNextDrop();
+        }
+    }
+
+    private void repaintColumn(int col, double fromY, double toY) {
+        Ellipse2D.Double hole = holes.get(col * 6);
+        int x = (getWidth() - BOARD_WIDTH) / 2 + (int) hole.x;
+        int y = MARGIN_TOP + (int) Math.min(fromY, toY);
+        int h = (int) Math.abs(toY - fromY) + HOLE_DIAMETER + 1;
+        repaint(x, y, HOLE_DIAMETER + 1, h);
     }
 
     @Override
     protected void paintComponent(Graphics g) {
+        long paintStart = System.nanoTime();
         super.paintComponent(g); 
         Graphics2D g2 = (Graphics2D) g;
+        // Paint one consistent, immutable view of the game
+        Position position = state.snapshot();
         
         // Enable Anti-Aliasing
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -67,7 +179,7 @@ public class BoardDrawing extends JComponent {
         g2.fillRect(0, 0, getWidth(), getHeight());
         
         // Draw Status Message
-        drawStatusMessage(g2);
+        drawStatusMessage(g2, position);
 
         // Calculate centering offset
         int translateX = (getWidth() - BOARD_WIDTH) / 2;
@@ -83,34 +195,49 @@ public class BoardDrawing extends JComponent {
         drawBoard(g2);
 
         // Draw Pieces
-        drawPieces(g2);
+        drawPieces(g2, position);
+
+        // Draw the falling disc on top of the board
+        if (dropCol != -1) {
+            drawFallingDisc(g2);
+        }
         
         // Draw Row Labels
         drawRowLabels(g2);
+
+        // Draw the bot's analysis
+        if (hint != null) {
+            drawEvaluationBar(g2);
+            if (hintSearching) drawHintArrow(g2, position);
+        }
         
         // Restore transform
         g2.setTransform(oldTx);
         
         // Draw Error Message
-        if (state.getError() != null) {
-            drawErrorMessage(g2, state.getError());
+        if (position.getError() != null) {
+            drawErrorMessage(g2, position.getError());
+        }
+
+        if (dropCol != -1) {
+            frameStats.recordPaint(System.nanoTime() - paintStart);
         }
     }
 
-    private void drawStatusMessage(Graphics2D g2) {
+    private void drawStatusMessage(Graphics2D g2, Position position) {
         String message = "";
         Color msgColor = Color.DARK_GRAY;
 
-        if (state.getRedWins()) {
+        if (position.getRedWins()) {
             message = "RED WINS!";
             msgColor = COLOR_RED;
-        } else if (state.getYellowWins()) {
+        } else if (position.getYellowWins()) {
             message = "YELLOW WINS!";
             msgColor = COLOR_YELLOW;
-        } else if (state.getGameOver()) {
+        } else if (position.getGameOver()) {
             message = "IT'S A TIE!";
             msgColor = Color.BLACK;
-        } else if (state.getRedsTurn()) {
+        } else if (position.getRedsTurn()) {
             message = "Red's Turn";
             msgColor = COLOR_RED;
         } else {
@@ -128,6 +255,36 @@ public class BoardDrawing extends JComponent {
     }
 
     private void drawBoard(Graphics2D g2) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null) {
+            renderBoard(g2); // not on screen yet, nothing to cache against
+            return;
+        }
+        AffineTransform screen = gc.getDefaultTransform();
+        double scaleX = screen.getScaleX();
+        double scaleY = screen.getScaleY();
+        // moved to another monitor, or its scale changed
+        if (boardCache == null || gc != boardCacheConfig
+                || scaleX != boardCacheScaleX || scaleY != boardCacheScaleY) {
+            boardCache = gc.createCompatibleImage((int) Math.ceil((BOARD_WIDTH + 6) * scaleX),
+                    (int) Math.ceil((BOARD_HEIGHT + 6) * scaleY), Transparency.TRANSLUCENT);
+            Graphics2D cg = boardCache.createGraphics();
+            cg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            cg.scale(scaleX, scaleY);
+            renderBoard(cg);
+            cg.dispose();
+            boardCacheConfig = gc;
+            boardCacheScaleX = scaleX;
+            boardCacheScaleY = scaleY;
+        }
+        // undo the screen scale so every image pixel lands on one device pixel
+        AffineTransform old = g2.getTransform();
+        g2.scale(1 / scaleX, 1 / scaleY);
+        g2.drawImage(boardCache, 0, 0, null);
+        g2.setTransform(old);
+    }
+
+    private void renderBoard(Graphics2D g2) {
         // Shadow for depth
         g2.setColor(new Color(0, 0, 0, 50));
         g2.fillRoundRect((int)board.getX() + 5, (int)board.getY() + 5, (int)board.getWidth(), (int)board.getHeight(), 30, 30);
@@ -151,34 +308,52 @@ public class BoardDrawing extends JComponent {
         }
     }
 
-    private void drawPieces(Graphics2D g2) {
-        Boolean[][] pieces = state.getPieces();
-        
+    private void drawPieces(Graphics2D g2, Position position) {
         for (int i = 0; i < 7; i++) { // col
             for (int j = 0; j < 6; j++) { // row
-                Boolean isRed = pieces[i][j];
-                if (isRed != null) {
+                Boolean isRed = position.getPiece(i, j);
+                // the falling disc is drawn separately until it lands
+                if (isRed != null && !(i == dropCol && j == dropRow) && !isPendingDrop(i, j)) {
                     Ellipse2D.Double targetHole = holes.get(i * 6 + j);
-                    
-                    Color baseColor = isRed ? COLOR_RED : COLOR_YELLOW;
-                    
-                    // Simple linear gradient for pieces
-                    GradientPaint gp = new GradientPaint(
-                            (float)targetHole.x, (float)targetHole.y, baseColor.brighter(),
-                            (float)targetHole.x + (float)targetHole.width, (float)targetHole.y + (float)targetHole.height, baseColor.darker()
-                    );
-                    
-                    g2.setPaint(gp);
-                    g2.fill(new Ellipse2D.Double(targetHole.x + 4, targetHole.y + 4, targetHole.width - 8, targetHole.height - 8));
-                    
-                    // Add a border highlight
-                    g2.setStroke(new BasicStroke(2));
-                    g2.setColor(new Color(255,255,255,100));
-                    g2.drawOval((int)targetHole.x + 6, (int)targetHole.y + 6, (int)targetHole.width - 12, (int)targetHole.height - 12);
+                    drawPiece(g2, targetHole.x, targetHole.y, isRed);
                 }
             }
         }
     }
+
+    // Discs queued behind the falling one are not shown until they have fallen
+    private boolean isPendingDrop(int col, int row) {
+        for (int[] drop : pendingDrops) {
+            if (drop[0] == col && drop[1] == row) return true;
+        }
+        return false;
+    }
+
+    private void drawFallingDisc(Graphics2D g2) {
+        Shape oldClip = g2.getClip();
+        // the disc slides in from the top edge of the board
+        g2.clip(board);
+        drawPiece(g2, holes.get(dropCol * 6).x, dropY, dropIsRed);
+        g2.setClip(oldClip);
+    }
+
+    private void drawPiece(Graphics2D g2, double x, double y, boolean isRed) {
+        Color baseColor = isRed ? COLOR_RED : COLOR_YELLOW;
+
+        // Simple linear gradient for pieces
+        GradientPaint gp = new GradientPaint(
+                (float)x, (float)y, baseColor.brighter(),
+                (float)x + HOLE_DIAMETER, (float)y + HOLE_DIAMETER, baseColor.darker()
+        );
+
+        g2.setPaint(gp);
+        g2.fill(new Ellipse2D.Double(x + 4, y + 4, HOLE_DIAMETER - 8, HOLE_DIAMETER - 8));
+
+        // Add a border highlight
+        g2.setStroke(new BasicStroke(2));
+        g2.setColor(new Color(255,255,255,100));
+        g2.drawOval((int)x + 6, (int)y + 6, HOLE_DIAMETER - 12, HOLE_DIAMETER - 12);
+    }
     
     private void drawRowLabels(Graphics2D g2) {
         g2.setFont(new Font("Courier New", Font.PLAIN, 16));
@@ -195,6 +370,43 @@ public class BoardDrawing extends JComponent {
         }
     }
 
+    private void drawEvaluationBar(Graphics2D g2) {
+        // Squash the score into the share of the bar that belongs to Yellow (top) vs Red (bottom)
+        int score = hint.getScore();
+        double yellowShare;
+        if (hint.isDecisive()) yellowShare = score > 0 ? 1 : 0;
+        else yellowShare = 0.5 + 0.5 * score / (Math.abs(score) + 500.0);
+
+        int barWidth = 12;
+        int x = -barWidth - 15;
+        int yellowHeight = (int) Math.round(BOARD_HEIGHT * yellowShare);
+
+        g2.setColor(COLOR_YELLOW);
+        g2.fillRect(x, 0, barWidth, yellowHeight);
+        g2.setColor(COLOR_RED);
+        g2.fillRect(x, yellowHeight, barWidth, BOARD_HEIGHT - yellowHeight);
+        g2.setColor(COLOR_BOARD);
+        g2.drawRect(x, 0, barWidth, BOARD_HEIGHT);
+
+        // Depth reached, under the bar
+        g2.setFont(new Font("Courier New", Font.PLAIN, 12));
+        g2.setColor(Color.GRAY);
+        String label = "d" + hint.getDepth();
+        int w = g2.getFontMetrics().stringWidth(label);
+        g2.drawString(label, x + (barWidth - w) / 2, BOARD_HEIGHT + 15);
+    }
+
+    private void drawHintArrow(Graphics2D g2, Position position) {
+        // Small arrow in the board's top padding, pointing down at the best column so far
+        Ellipse2D.Double topHole = holes.get((hint.getColumn() - 1) * 6 + 5);
+        int cx = (int) topHole.getCenterX();
+        Polygon arrow = new Polygon(
+                new int[]{cx - 8, cx + 8, cx},
+                new int[]{3, 3, PADDING - 4}, 3);
+        g2.setColor(position.getRedsTurn() ? COLOR_RED : COLOR_YELLOW);
+        g2.fill(arrow);
+    }
+
     private void drawErrorMessage(Graphics2D g2, String error) {
         g2.setFont(new Font("Courier New", Font.BOLD, 18));
         g2.setColor(new Color(231, 76, 60)); // Red error
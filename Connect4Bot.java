@@ -1,31 +1,87 @@
 import java.util.Random;
 
-public class Connect4Bot {
-    private static final int MAX_DEPTH = 10; // Restricted depth as per plan
+public class Connect4Bot implements Connect4Engine {
+    static final int MAX_DEPTH = 10; // Restricted depth as per plan
 
-    // Bot assumes it is playing as Yellow (false)
-    // Red (true) is the player (minimizing opponent)
+    private static final int WIN_SCORE = 100000;
+    // Wins proven by the threat analyzer lie further away than anything the search can see
+    static final int PROVEN_WIN_SCORE = 50000;
+    private static final int UNPROVEN = Integer.MIN_VALUE;
+
+    // Open windows of 4 cells holding 3 or 2 pieces of one color
+    static final int THREE_SCORE = 100;
+    static final int TWO_SCORE = 10;
+    // Threats on the rows that favour their owner (odd for Red, even for Yellow) decide most endgames
+    static final int GOOD_THREAT_SCORE = 150;
+    static final int OTHER_THREAT_SCORE = 40;
+
+    private final int maxDepth;
+    private final DecisionCache cache; // null to always search; entries are for the normal search settings
+
+    // Number of positions visited by the last call to getBestMove
+    private long nodeCount;
+    // Set when the calling thread is interrupted; the search then unwinds without a result
+    private boolean aborted;
+    // Static threat cutoffs inside the search; only turned off to measure what they save
+    private boolean threatCutoffs = true;
+
+    public Connect4Bot() {
+        this(MAX_DEPTH, null);
+    }
+
+    // A bot with its own depth and a cache of decisions that can be shared with other bots,
+    // e.g. across Undo or several games
+    public Connect4Bot(int maxDepth, DecisionCache cache) {
+        this.maxDepth = maxDepth;
+        this.cache = cache;
+    }
+
+    // Scores are always from Yellow's point of view: Yellow (false) maximizes, Red (true) minimizes.
+    // The bot plays whichever side is to move, Yellow in the UI.
     
     public int getBestMove(GameState state) {
+        return getBestMove(state.snapshot(), null);
+    }
+
+    // With a listener the search deepens one ply at a time (1..maxDepth) and reports
+    // the best column after every completed depth; without one it searches maxDepth directly
+    @Override
+    public int getBestMove(Position position, SearchListener listener) {
+        nodeCount = 0;
+        aborted = false;
+        // A finished game has no moves to search
+        if (position.getGameOver()) return -1;
+
+        // Decisions of a search without the threat cutoffs would mix with the normal ones
+        DecisionCache cache = threatCutoffs ? this.cache : null;
+        // Positions already searched this deep (e.g. again after Undo) are answered right away
+        SearchHint cached = cache != null ? cache.get(position, maxDepth) : null;
+        if (cached != null) {
+            if (listener != null) listener.iterationFinished(cached);
+            return cached.getColumn();
+        }
+
+        // The search plays and takes back moves on its own copy of the game
+        GameState state = new GameState(position);
         int bestMove = -1;
-        int bestValue = Integer.MIN_VALUE;
-        
-        // Iterate through all possible columns (1-7)
-        for (int col = 1; col <= 7; col++) {
-            if (!state.isColumnFull(col)) {
-                // Create a hypothetical state for this move
-                GameState nextState = new GameState(state);
-                nextState.move(col);
-                
-                // Call minimax for the resulting state
-                // Since bot made a move, it's now Red's turn (minimizing)
-                int value = minimax(nextState, MAX_DEPTH - 1, Integer.MIN_VALUE, Integer.MAX_VALUE, false);
-                
-                if (value > bestValue) {
-                    bestValue = value;
-                    bestMove = col;
-                }
+        int bestValue = 0;
+
+        for (int depth = listener == null ? maxDepth : 1; depth <= maxDepth; depth++) {
+            int[] result = searchRoot(state, depth, bestMove);
+            // cancelled, e.g. by Undo: nothing to report or cache
+            if (aborted) return -1;
+            if (result[0] == -1) break;
+            bestMove = result[0];
+            bestValue = result[1];
+            if (listener != null) {
+                listener.iterationFinished(new SearchHint(bestMove, bestValue, depth));
             }
+            // A proven result won't change with more depth
+            if (Math.abs(bestValue) >= PROVEN_WIN_SCORE) break;
+        }
+
+        if (cache != null && bestMove != -1) {
+            cache.put(position, new SearchHint(bestMove, bestValue, maxDepth));
         }
         
         // Fallback if no valid moves (shouldn't happen unless board full)
@@ -38,6 +94,36 @@ public class Connect4Bot {
         return bestMove;
     }
 
+    // Returns {best column, score} for a search of the given depth, trying firstCol first if set
+    private int[] searchRoot(GameState state, int depth, int firstCol) {
+        boolean yellowToMove = !state.getRedsTurn();
+        int bestMove = -1;
+        int bestValue = yellowToMove ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        
+        // Iterate through all possible columns (1-7), the previous best move first
+        for (int i = 0; i <= 7; i++) {
+            int col = i == 0 ? firstCol : i;
+            if (col == -1 || (i != 0 && col == firstCol)) continue;
+            if (!state.isColumnFull(col)) {
+                // Make the move on the board, and take it back after searching it
+                state.move(col);
+                
+                // Call minimax for the resulting state, where it's now the opponent's turn
+                // Moves that can't beat the best one so far only need to prove that
+                int value = yellowToMove
+                        ? minimax(state, depth - 1, bestValue, Integer.MAX_VALUE, false)
+                        : minimax(state, depth - 1, Integer.MIN_VALUE, bestValue, true);
+                state.undo();
+                
+                if (yellowToMove ? value > bestValue : value < bestValue) {
+                    bestValue = value;
+                    bestMove = col;
+                }
+            }
+        }
+        return new int[]{bestMove, bestValue};
+    }
+
     // isMaximizing: true if it's Bot's turn (Yellow), false if Player's turn (Red)
     // Actually, careful here. In recursions:
     // When we call minimax, we have just made a move.
@@ -51,18 +137,37 @@ public class Connect4Bot {
     // So the recursive call passes `false` (Player's turn).
     
     private int minimax(GameState state, int depth, int alpha, int beta, boolean isMaximizing) {
+        nodeCount++;
+        // Checked every 1024 nodes, so a cancelled search stops within a few milliseconds
+        if ((nodeCount & 1023) == 0 && Thread.currentThread().isInterrupted()) aborted = true;
+        if (aborted) return 0;
         if (depth == 0 || state.getGameOver()) {
             return evaluate(state, depth); // Pass depth to prioritize faster wins
         }
 
+        int forced = -1;
+        if (threatCutoffs) {
+            // Static threat analysis can settle the position without searching any deeper
+            ThreatAnalyzer threats = new ThreatAnalyzer(state);
+            int proven = provenValue(threats, state.getRedsTurn(), depth);
+            if (proven != UNPROVEN) return proven;
+            // Red to move and Yellow holds at least a draw: fail high if that is already enough
+            if (threats.getOutcome() == ThreatAnalyzer.Outcome.YELLOW_AT_LEAST_DRAW && beta <= 0) {
+                return 0;
+            }
+            // A single playable opponent threat must be blocked, every other move loses at once
+            forced = threats.immediateWinColumn(!state.getRedsTurn());
+        }
+
         if (isMaximizing) { // Bot's turn (Yellow)
             int maxEval = Integer.MIN_VALUE;
             // Optimization: Search center columns first (see section 3)
             for (int col : new int[]{4, 3, 5, 2, 6, 1, 7}) { 
+                if (forced != -1 && col != forced) continue;
                 if (!state.isColumnFull(col)) {
-                    GameState nextState = new GameState(state);
-                    nextState.move(col);
-                    int eval = minimax(nextState, depth - 1, alpha, beta, false);
+                    state.move(col);
+                    int eval = minimax(state, depth - 1, alpha, beta, false);
+                    state.undo();
                     maxEval = Math.max(maxEval, eval);
                     alpha = Math.max(alpha, eval);
                     if (beta <= alpha) break; // Beta Cut-off
@@ -72,10 +177,11 @@ public class Connect4Bot {
         } else { // Player's turn (Red)
             int minEval = Integer.MAX_VALUE;
             for (int col : new int[]{4, 3, 5, 2, 6, 1, 7}) {
+                if (forced != -1 && col != forced) continue;
                 if (!state.isColumnFull(col)) {
-                    GameState nextState = new GameState(state);
-                    nextState.move(col);
-                    int eval = minimax(nextState, depth - 1, alpha, beta, true);
+                    state.move(col);
+                    int eval = minimax(state, depth - 1, alpha, beta, true);
+                    state.undo();
                     minEval = Math.min(minEval, eval);
                     beta = Math.min(beta, eval);
                     if (beta <= alpha) break; // Alpha Cut-off
@@ -85,45 +191,58 @@ public class Connect4Bot {
         }
     }
 
-    // Simple heuristic evaluation
+    // Heuristic evaluation, backed by the static threat analysis
     private int evaluate(GameState state, int depth) {
-        if (state.getYellowWins()) return 100000 + depth; // Win faster
-        if (state.getRedWins()) return -100000 - depth;   // Lose slower
-        
+        if (state.getYellowWins()) return WIN_SCORE + depth; // Win faster
+        if (state.getRedWins()) return -WIN_SCORE - depth;   // Lose slower
+        if (state.getGameOver()) return 0;                   // Board full, tie
+
+        ThreatAnalyzer threats = new ThreatAnalyzer(state);
+        int proven = provenValue(threats, state.getRedsTurn(), depth);
+        if (proven != UNPROVEN) return proven;
+        return heuristic(threats);
+    }
+
+    // Static score of an unsettled position, see BatchEvaluator for the same score on bitboards
+    static int heuristic(ThreatAnalyzer threats) {
+        // Open windows of 4 cells (horizontal, vertical and diagonal) that aren't blocked by the opponent
         int score = 0;
-        Boolean[][] pieces = state.getPieces();
-        
-        // Evaluate horizontal, vertical, and diagonal windows of 4 cells
-        // Example: Horizontal check
-        for (int r = 0; r < 6; r++) {
-            for (int c = 0; c < 4; c++) {
-                score += evaluateWindow(pieces[c][r], pieces[c+1][r], pieces[c+2][r], pieces[c+3][r]);
-            }
-        }
-        // (Repeat similar loops for Vertical and Diagonals)
+        score += THREE_SCORE * threats.getOpenThrees(false) + TWO_SCORE * threats.getOpenTwos(false);
+        score -= THREE_SCORE * threats.getOpenThrees(true) + TWO_SCORE * threats.getOpenTwos(true);
+
+        // Odd/even threat parity: Yellow's even threats and Red's odd threats are the dangerous ones
+        score += GOOD_THREAT_SCORE * threats.threatCount(false, false) + OTHER_THREAT_SCORE * threats.threatCount(false, true);
+        score -= GOOD_THREAT_SCORE * threats.threatCount(true, true) + OTHER_THREAT_SCORE * threats.threatCount(true, false);
         return score;
     }
 
-    private int evaluateWindow(Boolean... cells) {
-        int botCount = 0;
-        int playerCount = 0;
-        
-        for (Boolean cell : cells) {
-            if (cell != null) {
-                if (cell == false) botCount++; // Yellow
-                else playerCount++;            // Red
-            }
+    // Returns the exact value of the position if the threat analysis proves it, otherwise UNPROVEN
+    // Scores are from Yellow's point of view and shrink with distance, like evaluate()
+    private int provenValue(ThreatAnalyzer threats, boolean redsTurn, int depth) {
+        // The side to move completes a four right away
+        if (threats.immediateWinColumn(redsTurn) != -1) {
+            return redsTurn ? -WIN_SCORE - (depth - 1) : WIN_SCORE + (depth - 1);
         }
-
-        // Only score windows that aren't blocked by the opponent
-        if (botCount > 0 && playerCount == 0) {
-            if (botCount == 3) return 100;
-            if (botCount == 2) return 10;
-        } else if (playerCount > 0 && botCount == 0) {
-            if (playerCount == 3) return -100; // Block this!
-            if (playerCount == 2) return -10;
+        // The opponent has two playable threats and only one of them can be blocked
+        if (threats.playableThreatCount(!redsTurn) >= 2) {
+            return redsTurn ? WIN_SCORE + (depth - 2) : -WIN_SCORE - (depth - 2);
+        }
+        switch (threats.getOutcome()) {
+            case YELLOW_WINS:
+                return PROVEN_WIN_SCORE + depth;
+            case DRAW:
+                return 0;
+            default:
+                return UNPROVEN;
         }
-        return 0;
+    }
+
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    public void setThreatCutoffs(boolean threatCutoffs) {
+        this.threatCutoffs = threatCutoffs;
     }
 
 }
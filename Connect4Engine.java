@@ -0,0 +1,8 @@
+// Common interface of the bots the UI can play against
+public interface Connect4Engine {
+    // Returns the best column (1-7) for the side to move, or -1 if the game is over,
+    // reporting progress to the listener (which may be null) from the calling thread while it searches.
+    // Takes a snapshot so the search never reads the live game the UI is changing.
+    // If the calling thread is interrupted the search stops early and returns -1.
+    int getBestMove(Position position, SearchListener listener);
+}
@@ -3,6 +3,7 @@ import java.awt.event.*;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class Connect4UI {
     
@@ -13,13 +14,51 @@ public class Connect4UI {
     private static final Color COLOR_BTN_TEXT = Color.WHITE;
     
     private static boolean isBotMode = false;
-    private static final Connect4Bot bot = new Connect4Bot();
+    // Engines are created on first use, so none of their setup delays the first frame
+    private static Connect4Engine minimaxBot;
+    private static Connect4Engine mctsBot;
+    private static Connect4Engine bot; // engine used in bot mode
+    // Minimax decisions kept across Undo and games, so a position seen before is answered at once
+    private static final DecisionCache DECISION_CACHE = new DecisionCache(50000);
     private static boolean botThinking = false;
+    private static SwingWorker<Integer, Void> botWorker; // the running search, cancelled by Undo and Restart
+    // Search hints reach the EDT at most this often, however fast the bot produces them
+    private static final int HINT_INTERVAL_MS = 100;
 
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> createAndShowGUI());
     }
 
+    private static Connect4Engine getMinimaxBot() {
+        if (minimaxBot == null) minimaxBot = new Connect4Bot(Connect4Bot.MAX_DEPTH, DECISION_CACHE);
+        return minimaxBot;
+    }
+
+    private static Connect4Engine getMctsBot() {
+        if (mctsBot == null) mctsBot = new MctsBot(1500);
+        return mctsBot;
+    }
+
+    // Runs both engines briefly on a throwaway position so class loading, static tables
+    // and JIT compilation are done before the first real bot move.
+    // Uses separate instances on a low-priority thread, so it never blocks the EDT or a real search.
+    private static Thread warmUpEngines() {
+        Thread warmUp = new Thread(() -> {
+            GameState sample = new GameState();
+            for (int col : new int[]{4, 4, 3, 5, 3, 3, 5, 2}) {
+                sample.move(col);
+            }
+            new Connect4Bot(6, null).getBestMove(sample);
+            MctsBot mcts = new MctsBot(100, 1 << 14);
+            mcts.getBestMove(sample.snapshot(), null);
+            mcts.shutdown();
+        }, "engine-warmup");
+        warmUp.setDaemon(true);
+        warmUp.setPriority(Thread.MIN_PRIORITY);
+        warmUp.start();
+        return warmUp;
+    }
+
     private static void createAndShowGUI() {
         JFrame frame = new JFrame("Connect 4");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -28,7 +67,13 @@ public class Connect4UI {
         
         // Main Container with CardLayout
         CardLayout cardLayout = new CardLayout();
-        JPanel mainPanel = new JPanel(cardLayout);
+        JPanel mainPanel = new JPanel(cardLayout) {
+            @Override
+            public void paint(Graphics g) {
+                super.paint(g);
+                StartupProbe.mark("first-frame");
+            }
+        };
         mainPanel.setBackground(COLOR_BG);
         frame.setContentPane(mainPanel);
 
@@ -51,6 +96,36 @@ public class Connect4UI {
         frame.setSize(800, 720); // Explicitly set a taller size
         frame.setLocationRelativeTo(null);
         frame.setVisible(true);
+
+        // Only now, with the window on screen, prepare the engines in the background
+        final Thread warmUp = StartupProbe.SKIP_WARM_UP ? null : warmUpEngines();
+
+        if (StartupProbe.ENABLED) {
+            // Benchmark run: start a bot game and make the first move, as a player would
+            Runnable firstMove = () -> {
+                isBotMode = true;
+                bot = getMinimaxBot();
+                cardLayout.show(mainPanel, "GAME");
+                state.move(4);
+                board.animateDrop();
+                StartupProbe.mark("bot-search-start");
+                triggerBotMove(state, board);
+            };
+            if (StartupProbe.WAIT_FOR_WARM_UP) {
+                // wait off the EDT, so the window keeps painting meanwhile
+                new Thread(() -> {
+                    try {
+                        warmUp.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    StartupProbe.mark("warm-up-done");
+                    SwingUtilities.invokeLater(firstMove);
+                }, "startup-probe").start();
+            } else {
+                SwingUtilities.invokeLater(firstMove);
+            }
+        }
     }
 
     private static JPanel createStartPanel(CardLayout cardLayout, JPanel mainPanel) {
@@ -78,6 +153,18 @@ public class Connect4UI {
         btnBot.setPreferredSize(new Dimension(150, 60));
         btnBot.addActionListener(e -> {
             isBotMode = true;
+            bot = getMinimaxBot();
+            cardLayout.show(mainPanel, "GAME");
+            mainPanel.revalidate();
+            mainPanel.repaint();
+        });
+
+        // Same bot mode, played by the Monte Carlo engine
+        JButton btnMcts = createStyledButton("MCTS", COLOR_BTN_GREEN);
+        btnMcts.setPreferredSize(new Dimension(150, 60));
+        btnMcts.addActionListener(e -> {
+            isBotMode = true;
+            bot = getMctsBot();
             cardLayout.show(mainPanel, "GAME");
             mainPanel.revalidate();
             mainPanel.repaint();
@@ -85,6 +172,7 @@ public class Connect4UI {
 
         buttonPanel.add(btnPvp);
         buttonPanel.add(btnBot);
+        buttonPanel.add(btnMcts);
 
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.gridx = 0;
@@ -127,7 +215,8 @@ public class Connect4UI {
                 if (botThinking || state.getGameOver()) return; // Prevent moves while bot thinks
 
                 state.move(col);
-                board.repaint();
+                if (state.getError() == null) board.animateDrop();
+                else board.repaint();
                 
                 // Trigger Bot if applicable
                 if (isBotMode && !state.getGameOver() && !state.getRedsTurn()) {
@@ -144,14 +233,18 @@ public class Connect4UI {
 
         JButton btnUndo = createStyledButton("Undo", COLOR_BTN_BLUE);
         btnUndo.addActionListener(e -> {
-            if (isBotMode) {
+            if (isBotMode && botThinking) {
+                // The bot hasn't answered yet: take back only the human's move and stop the search
+                cancelBotMove();
+                state.undo();
+            } else if (isBotMode) {
                 // If it's bot mode, we generally want to undo TWO moves (Bot's move + Player's move)
                 // to get back to Player's turn.
                 // But check if at least 2 moves exist.
-                if (state.getMoves().size() >= 2) {
+                if (state.getMoveCount() >= 2) {
                     state.undo(); // Undo Bot's move
                     state.undo(); // Undo Player's move
-                } else if (state.getMoves().size() == 1) {
+                } else if (state.getMoveCount() == 1) {
                     // Start of game oddity (maybe bot hasn't moved yet?)
                     state.undo();
                 } else {
@@ -163,13 +256,16 @@ public class Connect4UI {
             } else {
                 state.undo();
             }
-            board.repaint();
+            board.setSearchHint(null, false);
+            board.cancelAnimation();
         });
 
         JButton btnRestart = createStyledButton("Restart", COLOR_BTN_GREEN);
         btnRestart.addActionListener(e -> {
+            cancelBotMove();
             state.restart();
-            board.repaint();
+            board.setSearchHint(null, false);
+            board.cancelAnimation();
             cardLayout.show(mainPanel, "START");
         });
 
@@ -185,31 +281,74 @@ public class Connect4UI {
 
     private static void triggerBotMove(GameState state, BoardDrawing board) {
         botThinking = true;
+        final Connect4Engine engine = bot;
+        // The search works on a snapshot; if the game changes meanwhile (Undo, Restart) its answer is stale
+        final Position position = state.snapshot();
+
+        // The search only ever stores its newest hint here; the EDT picks it up on a fixed-rate timer
+        final AtomicReference<SearchHint> latestHint = new AtomicReference<>();
+        final Timer hintTimer = new Timer(HINT_INTERVAL_MS, e -> {
+            SearchHint hint = latestHint.getAndSet(null);
+            if (hint != null && state.getVersion() == position.getVersion()) board.setSearchHint(hint, true);
+        });
+        hintTimer.setCoalesce(true);
+
         // Run bot logic in background to keep UI responsive
-        SwingWorker<Integer, Void> worker = new SwingWorker<Integer, Void>() {
+        botWorker = new SwingWorker<Integer, Void>() {
+            private SearchHint lastHint;
+
             @Override
             protected Integer doInBackground() throws Exception {
                 // Small delay for better UX
                 // Thread.sleep(500); // removed the delay for deeper search...
-                return bot.getBestMove(state);
+                // A cancelled search may still be unwinding; it must finish before the engine is reused
+                synchronized (engine) {
+                    return engine.getBestMove(position, hint -> {
+                        lastHint = hint;
+                        latestHint.set(hint);
+                    });
+                }
             }
 
             @Override
             protected void done() {
+                hintTimer.stop();
+                // cancelBotMove has already unlocked the board
+                if (isCancelled()) return;
+                botThinking = false;
+                if (state.getVersion() != position.getVersion()) {
+                    // Undo can leave the bot to move again (e.g. [R, Y, R] back to [R]), so search the new position
+                    if (isBotMode && !state.getGameOver() && !state.getRedsTurn()) {
+                        triggerBotMove(state, board);
+                    }
+                    return;
+                }
                 try {
                     int col = get();
+                    // keep the final evaluation on screen for the human's turn
+                    board.setSearchHint(lastHint, false);
                     if (col != -1) {
                         state.move(col);
-                        board.repaint();
+                        board.animateDrop();
+                    }
+                    if (StartupProbe.ENABLED) {
+                        StartupProbe.mark("first-bot-move");
+                        System.exit(0);
                     }
                 } catch (InterruptedException | ExecutionException e) {
                     e.printStackTrace();
-                } finally {
-                    botThinking = false;
                 }
             }
         };
-        worker.execute();
+        hintTimer.start();
+        botWorker.execute();
+    }
+
+    // Interrupts a running bot search, so it stops early and its answer is thrown away
+    private static void cancelBotMove() {
+        if (botWorker != null) botWorker.cancel(true);
+        botWorker = null;
+        botThinking = false;
     }
 
     private static JButton createStyledButton(String text, Color bg) {
@@ -0,0 +1,103 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded LRU cache of the bot's final decisions, keyed by position.
+// A position and its mirror image share one entry, so a line played on the other side of the
+// board hits too. All methods are synchronized, so one cache can serve several games at once.
+public class DecisionCache {
+    private final int capacity;
+    private final LinkedHashMap<Long, SearchHint> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public DecisionCache(int capacity) {
+        this.capacity = capacity;
+        // access order makes iteration start at the least recently used entry
+        this.entries = new LinkedHashMap<Long, SearchHint>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, SearchHint> eldest) {
+                if (size() <= DecisionCache.this.capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    // Returns the cached decision for the position if it was searched at least minDepth deep
+    public synchronized SearchHint get(Position position, int minDepth) {
+        long key = key(position.getRedBits(), position.getYellowBits());
+        long mirrorKey = key(mirror(position.getRedBits()), mirror(position.getYellowBits()));
+        SearchHint decision = entries.get(Math.min(key, mirrorKey));
+        if (decision == null || decision.getDepth() < minDepth) {
+            misses++;
+            return null;
+        }
+        hits++;
+        // entries are stored for the smaller key's orientation
+        if (mirrorKey < key) {
+            return new SearchHint(8 - decision.getColumn(), decision.getScore(), decision.getDepth());
+        }
+        return decision;
+    }
+
+    public synchronized void put(Position position, SearchHint decision) {
+        long key = key(position.getRedBits(), position.getYellowBits());
+        long mirrorKey = key(mirror(position.getRedBits()), mirror(position.getYellowBits()));
+        if (mirrorKey < key) {
+            decision = new SearchHint(8 - decision.getColumn(), decision.getScore(), decision.getDepth());
+        }
+        SearchHint old = entries.get(Math.min(key, mirrorKey));
+        // never replace a deeper search with a shallower one
+        if (old == null || old.getDepth() <= decision.getDepth()) {
+            entries.put(Math.min(key, mirrorKey), decision);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("entries=%d/%d hits=%d misses=%d evictions=%d",
+                entries.size(), capacity, hits, misses, evictions);
+    }
+
+    // Unique key for a board: mask + BOTTOM leaves a single bit just above each column's top piece,
+    // and adding the red pieces below it can't carry into the next column.
+    private static long key(long red, long yellow) {
+        long mask = red | yellow;
+        return mask + Position.BOTTOM + red;
+    }
+
+    // Reverses the column order of a bitboard (column c becomes column 6 - c)
+    private static long mirror(long bits) {
+        long mirrored = 0;
+        for (int c = 0; c < 7; c++) {
+            mirrored |= ((bits >>> (c * 7)) & 0x7F) << ((6 - c) * 7);
+        }
+        return mirrored;
+    }
+}
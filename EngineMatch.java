@@ -0,0 +1,78 @@
+import java.util.Random;
+
+// Plays the Monte Carlo engine against minimax at equal wall-clock time.
+// Minimax searches to its fixed depth; before every MCTS move the Monte Carlo engine gets the
+// average time minimax has needed per move so far. Each random opening is played twice,
+// with colors swapped.
+//
+// Usage: java EngineMatch [openings] [seed]
+public class EngineMatch {
+    private static final int OPENING_MOVES = 2;
+    private static final long FIRST_BUDGET_MS = 500; // before minimax has moved at all
+
+    private static long minimaxMillis;
+    private static int minimaxMoves;
+    private static long mctsPlayouts;
+    private static long mctsMillis;
+
+    public static void main(String[] args) {
+        int openings = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Random random = new Random(args.length > 1 ? Long.parseLong(args[1]) : 42);
+
+        MctsBot mcts = new MctsBot(FIRST_BUDGET_MS);
+        int mctsWins = 0, minimaxWins = 0, draws = 0;
+        long openingSeed = 0;
+        for (int game = 0; game < openings * 2; game++) {
+            if (game % 2 == 0) openingSeed = random.nextLong(); // same opening for both colors
+            boolean mctsIsRed = game % 2 == 0;
+
+            GameState state = playGame(mcts, new Random(openingSeed), mctsIsRed);
+            String result;
+            if (!state.getRedWins() && !state.getYellowWins()) {
+                draws++;
+                result = "draw";
+            } else if (state.getRedWins() == mctsIsRed) {
+                mctsWins++;
+                result = "MCTS wins";
+            } else {
+                minimaxWins++;
+                result = "minimax wins";
+            }
+            System.out.printf("game %2d  MCTS plays %-6s %2d moves  %s%n",
+                    game + 1, mctsIsRed ? "red" : "yellow", state.getMoveCount(), result);
+        }
+
+        System.out.println();
+        System.out.printf("MCTS %d - %d minimax, %d draws%n", mctsWins, minimaxWins, draws);
+        System.out.printf("minimax: %.0f ms/move%n", minimaxMoves > 0 ? (double) minimaxMillis / minimaxMoves : 0);
+        System.out.printf("MCTS: %.0f playouts/s%n", mctsMillis > 0 ? mctsPlayouts * 1000.0 / mctsMillis : 0);
+    }
+
+    private static GameState playGame(MctsBot mcts, Random openingRandom, boolean mctsIsRed) {
+        GameState state = new GameState();
+        for (int i = 0; i < OPENING_MOVES; i++) {
+            state.move(1 + openingRandom.nextInt(7));
+        }
+
+        // No decision cache: a hit would make a minimax move nearly free and shrink the MCTS budget
+        Connect4Bot minimax = new Connect4Bot(Connect4Bot.MAX_DEPTH, null);
+        while (!state.getGameOver()) {
+            int col;
+            if (state.getRedsTurn() == mctsIsRed) {
+                long budget = minimaxMoves > 0 ? minimaxMillis / minimaxMoves : FIRST_BUDGET_MS;
+                mcts.setMillisPerMove(Math.max(budget, 10));
+                long start = System.currentTimeMillis();
+                col = mcts.getBestMove(state.snapshot(), null);
+                mctsMillis += System.currentTimeMillis() - start;
+                mctsPlayouts += mcts.getPlayoutCount();
+            } else {
+                long start = System.currentTimeMillis();
+                col = minimax.getBestMove(state);
+                minimaxMillis += System.currentTimeMillis() - start;
+                minimaxMoves++;
+            }
+            state.move(col);
+        }
+        return state;
+    }
+}
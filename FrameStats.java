@@ -0,0 +1,80 @@
+// Frame-time instrumentation for the disc drop animation.
+// All methods are called on the EDT, so no synchronization is needed.
+public class FrameStats {
+    private final long budgetNanos;
+
+    private long lastTick;
+    private int frames;
+    private int droppedFrames;
+    private long totalStallNanos; // time the EDT delivered ticks later than the frame budget
+    private long maxStallNanos;
+    private long totalPaintNanos;
+    private long maxPaintNanos;
+    private long startTime;
+
+    public FrameStats(int framesPerSecond) {
+        budgetNanos = 1_000_000_000L / framesPerSecond;
+    }
+
+    // starts a new measurement window, e.g. at the beginning of a drop
+    public void reset() {
+        lastTick = 0;
+        frames = 0;
+        droppedFrames = 0;
+        totalStallNanos = 0;
+        maxStallNanos = 0;
+        totalPaintNanos = 0;
+        maxPaintNanos = 0;
+        startTime = System.nanoTime();
+    }
+
+    // records an animation tick; a tick arriving more than a budget late means frames were skipped
+    public void tick(long now) {
+        if (lastTick != 0) {
+            long interval = now - lastTick;
+            long stall = interval - budgetNanos;
+            if (stall > 0) {
+                totalStallNanos += stall;
+                maxStallNanos = Math.max(maxStallNanos, stall);
+                // round to the nearest frame so normal timer jitter isn't counted as a drop
+                droppedFrames += (int) ((stall + budgetNanos / 2) / budgetNanos);
+            }
+        }
+        lastTick = now;
+        frames++;
+    }
+
+    public void recordPaint(long nanos) {
+        totalPaintNanos += nanos;
+        maxPaintNanos = Math.max(maxPaintNanos, nanos);
+    }
+
+    public int getFrames() {
+        return frames;
+    }
+
+    public int getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    public long getMaxStallNanos() {
+        return maxStallNanos;
+    }
+
+    public long getMaxPaintNanos() {
+        return maxPaintNanos;
+    }
+
+    public double getFps() {
+        long elapsed = lastTick - startTime;
+        return elapsed > 0 ? frames * 1e9 / elapsed : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("frames=%d fps=%.1f dropped=%d stall(total=%.1fms max=%.1fms) paint(avg=%.2fms max=%.2fms)",
+                frames, getFps(), droppedFrames,
+                totalStallNanos / 1e6, maxStallNanos / 1e6,
+                frames > 0 ? totalPaintNanos / 1e6 / frames : 0, maxPaintNanos / 1e6);
+    }
+}
@@ -9,6 +9,10 @@ public class GameState {
 	private boolean redWins;
 	private boolean yellowWins;
 	private boolean redsTurn;
+	//counts every change to the game, so snapshots taken earlier can be recognised as stale
+	private long version;
+	//the last snapshot handed out, rebuilt lazily once the version has moved on
+	private Position snapshot;
 	
 	//starts the game on red's turn
 	public GameState() {
@@ -20,7 +24,7 @@ public class GameState {
 		moves = new Stack<>();
 	}
 
-    // Copy constructor for Minimax
+    // Copy constructor
     public GameState(GameState other) {
         this.pieces = new Boolean[7][6];
         for (int i = 0; i < 7; i++) {
@@ -35,11 +39,23 @@ public class GameState {
         this.moves = new Stack<>();
         this.moves.addAll(other.moves);
         this.error = other.error;
+        this.version = other.version;
     }
+
+	//rebuilds a game from a snapshot by replaying its moves, e.g. to search it on another thread
+	public GameState(Position position) {
+		this();
+		for(int i = 0; i < position.getMoveCount(); i++) {
+			move(position.getMove(i) + 1);
+		}
+		error = position.getError();
+		version = position.getVersion();
+	}
 	
 	//resets the error message and tries to move the next piece into the specified row
 	//if the move is invalid, sets the proper error message
 	public void move(int row) {
+		version++;
 		error = null;
 		//can't make a move if the game is over
 		if(gameOver) setErrorMessage();
@@ -66,6 +82,7 @@ public class GameState {
 	//switches back the turns accordingly
 	//if there are no moves to undo, sets the proper error message
 	public void undo() {
+		version++;
 		error = null;
 		//can't undo if it is the first move
 		if (moves.empty()) setErrorMessage();
@@ -87,6 +104,7 @@ public class GameState {
 	
 	//resets the board to its initial state
 	public void restart() {
+		version++;
 		pieces = new Boolean[7][6];
 		gameOver = false;
 		redWins = false;
@@ -221,12 +239,59 @@ public class GameState {
 		else error =  "That row is full.";
 	}
 	
+	//returns an immutable copy of the current game that is safe to share with other threads
+	//the game itself must only be changed and read on one thread (the EDT for the UI's game)
+	public Position snapshot() {
+		if(snapshot == null || snapshot.getVersion() != version) {
+			long red = 0;
+			long yellow = 0;
+			for(int i = 0; i < pieces.length; i++) {
+				for(int j = 0; j < pieces[0].length; j++) {
+					if(pieces[i][j] == null) continue;
+					if(pieces[i][j]) red |= 1L << (i * 7 + j);
+					else yellow |= 1L << (i * 7 + j);
+				}
+			}
+			long history0 = 0;
+			long history1 = 0;
+			for(int i = 0; i < moves.size(); i++) {
+				long column = moves.get(i).x;
+				if(i < 21) history0 |= column << (3 * i);
+				else history1 |= column << (3 * (i - 21));
+			}
+			snapshot = new Position(red, yellow, history0, history1, moves.size(),
+					gameOver, redWins, yellowWins, error, version);
+		}
+		return snapshot;
+	}
+	
+	public long getVersion() {
+		return version;
+	}
+	
+	//returns a copy, use getPiece for single squares
 	public Boolean[][] getPieces(){
-		return pieces;
+		Boolean[][] copy = new Boolean[pieces.length][];
+		for(int i = 0; i < pieces.length; i++) {
+			copy[i] = pieces[i].clone();
+		}
+		return copy;
 	}
 	
+	//true = red, false = yellow, null = no piece
+	public Boolean getPiece(int col, int row) {
+		return pieces[col][row];
+	}
+	
+	//returns a copy, use getMoveCount for the number of moves
 	public Stack<Point> getMoves(){
-		return moves;
+		Stack<Point> copy = new Stack<>();
+		copy.addAll(moves);
+		return copy;
+	}
+	
+	public int getMoveCount() {
+		return moves.size();
 	}
 	
 	public String getError() {
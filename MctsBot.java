@@ -0,0 +1,499 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Monte Carlo Tree Search (UCT) player.
+// Playouts run on several threads that share one tree. Node statistics are only changed with
+// atomic adds, and a virtual loss on the way down keeps the threads from piling onto one line.
+// Nodes live in a preallocated arena, and the subtree of the moves actually played is kept
+// for the next search.
+public class MctsBot implements Connect4Engine {
+    private static final int ARENA_CAPACITY = 1 << 20;
+    private static final double EXPLORATION = 1.0;
+    private static final int VIRTUAL_LOSS = 3;
+    // A leaf is only expanded once it has been visited this often, so the arena lasts longer
+    private static final int EXPAND_VISITS = 8;
+    private static final int HINT_INTERVAL_MS = 100;
+    private static final int[] ORDER = {3, 2, 4, 1, 5, 0, 6}; // 0-based columns, center first
+
+    // Bitboards use Position's layout: bit (col * 7 + row), row 6 of every column stays empty
+    private static final long BOTTOM = Position.BOTTOM;
+    private static final long BOARD = Position.BOARD;
+
+    // Node statistics are packed as (visits << 32) | reward, reward counting half points
+    // for the player who made the move into the node (2 = win, 1 = draw, 0 = loss)
+    private static final long VISIT = 1L << 32;
+
+    private static final byte NONE = 0, WIN = 1, DRAW = 2;
+    private static final int UNEXPANDED = -1, EXPANDING = -2, NO_ROOM = -3;
+
+    private long millisPerMove;
+    private final int arenaCapacity;
+    private final int threads;
+    private ExecutorService pool;
+
+    // Two arenas: the tree grows in one, and is compacted into the other when it fills up
+    private NodeArena arena;
+    private NodeArena spare;
+    private int root = -1;
+    private int[] rootHistory; // columns played to reach the root position
+
+    // Root position: stones of the side to move, all stones, number of moves
+    private long rootCurrent, rootMask;
+    private int rootMoves;
+
+    private long playoutCount;
+    private long searchMillis;
+    // Set when the caller is interrupted, so the workers stop before the deadline
+    private volatile boolean stopRequested;
+
+    public MctsBot(long millisPerMove) {
+        this(millisPerMove, ARENA_CAPACITY);
+    }
+
+    // A smaller arena, e.g. to warm up the JIT without allocating the full tree
+    public MctsBot(long millisPerMove, int arenaCapacity) {
+        this.millisPerMove = millisPerMove;
+        this.arenaCapacity = arenaCapacity;
+        // leave one core for the EDT
+        this.threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    @Override
+    public int getBestMove(Position position, SearchListener listener) {
+        long start = System.currentTimeMillis();
+        playoutCount = 0;
+        // A finished game has no moves to search
+        if (position.getGameOver()) return -1;
+        setRootPosition(position);
+
+        // Take an immediate win without searching
+        long possible = (rootMask + BOTTOM) & BOARD;
+        for (int col : ORDER) {
+            long stone = possible & columnMask(col);
+            if (stone != 0 && Position.isWin(rootCurrent | stone)) {
+                if (listener != null) {
+                    int score = position.getRedsTurn() ? -Connect4Bot.PROVEN_WIN_SCORE : Connect4Bot.PROVEN_WIN_SCORE;
+                    listener.iterationFinished(new SearchHint(col + 1, score, 1));
+                }
+                return col + 1;
+            }
+        }
+
+        prepareTree(historyOf(position));
+
+        if (pool == null) {
+            pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "mcts-playout");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        final long deadline = start + millisPerMove;
+        stopRequested = false;
+        List<Future<Long>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(pool.submit(() -> runPlayouts(deadline)));
+        }
+
+        // Report the current best line while the workers are busy
+        boolean interrupted = false;
+        try {
+            long now;
+            while ((now = System.currentTimeMillis()) < deadline) {
+                Thread.sleep(Math.min(HINT_INTERVAL_MS, deadline - now));
+                if (listener != null) listener.iterationFinished(currentHint());
+            }
+        } catch (InterruptedException e) {
+            // cancelled, e.g. by Undo: stop the workers early
+            interrupted = true;
+            stopRequested = true;
+        }
+        // Wait for every worker, so no playout still uses the tree once this returns
+        for (Future<Long> worker : workers) {
+            while (true) {
+                try {
+                    playoutCount += worker.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    stopRequested = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        searchMillis = System.currentTimeMillis() - start;
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+
+        SearchHint result = currentHint();
+        if (listener != null) listener.iterationFinished(result);
+        return result.getColumn();
+    }
+
+    // Stops the playout threads once the bot is no longer needed
+    public void shutdown() {
+        if (pool != null) pool.shutdown();
+        pool = null;
+    }
+
+    public void setMillisPerMove(long millisPerMove) {
+        this.millisPerMove = millisPerMove;
+    }
+
+    public long getPlayoutCount() {
+        return playoutCount;
+    }
+
+    public double getPlayoutsPerSecond() {
+        return searchMillis > 0 ? playoutCount * 1000.0 / searchMillis : 0;
+    }
+
+    private void setRootPosition(Position position) {
+        rootMask = position.getRedBits() | position.getYellowBits();
+        rootCurrent = position.getRedsTurn() ? position.getRedBits() : position.getYellowBits();
+        rootMoves = position.getMoveCount();
+    }
+
+    private static int[] historyOf(Position position) {
+        int[] history = new int[position.getMoveCount()];
+        for (int i = 0; i < history.length; i++) {
+            history[i] = position.getMove(i);
+        }
+        return history;
+    }
+
+    // Moves the root down to the current position if it was reached from the previous root,
+    // otherwise starts a new tree
+    private void prepareTree(int[] history) {
+        if (arena == null) {
+            arena = new NodeArena(arenaCapacity);
+            spare = new NodeArena(arenaCapacity);
+        }
+
+        int node = reusableRoot(history);
+        if (node == -1) {
+            arena.clear();
+            node = arena.allocate(1);
+            arena.init(node, -1, NONE);
+        } else if (arena.size() > arenaCapacity / 2) {
+            node = compact(node);
+        }
+        root = node;
+        rootHistory = history;
+    }
+
+    private int reusableRoot(int[] history) {
+        if (root == -1 || history.length < rootHistory.length) return -1;
+        for (int i = 0; i < rootHistory.length; i++) {
+            if (history[i] != rootHistory[i]) return -1;
+        }
+        int node = root;
+        for (int i = rootHistory.length; i < history.length; i++) {
+            node = arena.child(node, history[i]);
+            if (node == -1) return -1;
+        }
+        return node;
+    }
+
+    // Copies the subtree below node into the spare arena and swaps the arenas
+    private int compact(int node) {
+        spare.clear();
+        int newRoot = spare.allocate(1);
+        spare.copyNode(arena, node, newRoot);
+
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        queue.add(new int[]{node, newRoot});
+        while (!queue.isEmpty()) {
+            int[] pair = queue.poll();
+            int first = arena.firstChild.get(pair[0]);
+            if (first < 0) continue;
+            int count = arena.childCount[pair[0]];
+            int newFirst = spare.allocate(count);
+            for (int i = 0; i < count; i++) {
+                spare.copyNode(arena, first + i, newFirst + i);
+                queue.add(new int[]{first + i, newFirst + i});
+            }
+            spare.childCount[pair[1]] = (byte) count;
+            spare.firstChild.set(pair[1], newFirst);
+        }
+
+        NodeArena old = arena;
+        arena = spare;
+        spare = old;
+        return newRoot;
+    }
+
+    // Runs playouts until the deadline (or a stop request) and returns how many were done
+    private long runPlayouts(long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] path = new int[43];
+        long count = 0;
+        while (!stopRequested && System.currentTimeMillis() < deadline) {
+            playout(path, random);
+            count++;
+        }
+        return count;
+    }
+
+    private void playout(int[] path, ThreadLocalRandom random) {
+        long current = rootCurrent;
+        long mask = rootMask;
+        int moves = rootMoves;
+        int node = root;
+        int depth = 0;
+        path[depth++] = node;
+
+        // Reward for the player who made the move into the last node on the path
+        int reward;
+        while (true) {
+            byte terminal = arena.terminal[node];
+            if (terminal != NONE) {
+                reward = terminal == WIN ? 2 : 1;
+                break;
+            }
+            int first = arena.firstChild.get(node);
+            if (first == UNEXPANDED && (node == root || visits(arena.stats.get(node)) >= EXPAND_VISITS)) {
+                first = expand(node, current, mask, moves);
+            }
+            if (first < 0) {
+                // rollout() scores for the side to move, which is the opponent of the last mover
+                reward = 2 - rollout(current, mask, moves, random);
+                break;
+            }
+
+            node = selectChild(node, first);
+            arena.stats.addAndGet(node, VIRTUAL_LOSS * VISIT);
+            long stone = (mask + BOTTOM) & columnMask(arena.move[node]);
+            current ^= mask;
+            mask |= stone;
+            moves++;
+            path[depth++] = node;
+        }
+
+        // Undo the virtual loss and add the real result, flipping perspective at every level
+        for (int i = depth - 1; i > 0; i--) {
+            arena.stats.addAndGet(path[i], (1 - VIRTUAL_LOSS) * VISIT + reward);
+            reward = 2 - reward;
+        }
+        arena.stats.addAndGet(root, VISIT);
+    }
+
+    // Creates the children of node and returns the first one, or a negative value if
+    // another thread is already expanding it or the arena is full
+    private int expand(int node, long current, long mask, int moves) {
+        if (!arena.firstChild.compareAndSet(node, UNEXPANDED, EXPANDING)) return EXPANDING;
+
+        long possible = (mask + BOTTOM) & BOARD;
+        int count = Long.bitCount(possible);
+        int first = arena.allocate(count);
+        if (first == -1) {
+            arena.firstChild.set(node, NO_ROOM);
+            return NO_ROOM;
+        }
+
+        int i = first;
+        for (int col : ORDER) {
+            long stone = possible & columnMask(col);
+            if (stone == 0) continue;
+            byte terminal = Position.isWin(current | stone) ? WIN : moves + 1 == 42 ? DRAW : NONE;
+            arena.init(i++, col, terminal);
+        }
+        arena.childCount[node] = (byte) count;
+        // publishing the index makes the initialized children visible to other threads
+        arena.firstChild.set(node, first);
+        return first;
+    }
+
+    private int selectChild(int node, int first) {
+        int count = arena.childCount[node];
+        double logParent = Math.log(Math.max(1, visits(arena.stats.get(node))));
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = first; i < first + count; i++) {
+            long stats = arena.stats.get(i);
+            int visits = visits(stats);
+            if (visits == 0) return i; // unvisited children first, center columns before edges
+            double value = reward(stats) / (2.0 * visits) + EXPLORATION * Math.sqrt(logParent / visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // Plays random moves to the end of the game, but always takes a winning move and blocks
+    // the opponent's. Returns the result for the side to move in half points (2, 1 or 0).
+    private static int rollout(long current, long mask, int moves, ThreadLocalRandom random) {
+        boolean toMoveAtStart = true;
+        while (moves < 42) {
+            long possible = (mask + BOTTOM) & BOARD;
+            if ((Position.winningCells(current, mask) & possible) != 0) {
+                return toMoveAtStart ? 2 : 0;
+            }
+            long opponentWins = Position.winningCells(current ^ mask, mask);
+            long forced = opponentWins & possible;
+            long choices = possible;
+            if (forced != 0) {
+                // two threats at once can't both be blocked
+                if ((forced & (forced - 1)) != 0) return toMoveAtStart ? 0 : 2;
+                choices = forced;
+            } else {
+                // don't play directly below an opponent threat unless there is no other move
+                long safe = possible & ~(opponentWins >> 1);
+                if (safe != 0) choices = safe;
+            }
+
+            long stone = randomBit(choices, random);
+            current ^= mask;
+            mask |= stone;
+            moves++;
+            toMoveAtStart = !toMoveAtStart;
+        }
+        return 1;
+    }
+
+    private static long randomBit(long bits, ThreadLocalRandom random) {
+        for (int n = random.nextInt(Long.bitCount(bits)); n > 0; n--) {
+            bits &= bits - 1;
+        }
+        return Long.lowestOneBit(bits);
+    }
+
+    // Best move so far: the most visited root child
+    private SearchHint currentHint() {
+        int first = arena.firstChild.get(root);
+        int best = -1;
+        int bestVisits = -1;
+        for (int i = first; first >= 0 && i < first + arena.childCount[root]; i++) {
+            int visits = visits(arena.stats.get(i));
+            if (visits > bestVisits) {
+                bestVisits = visits;
+                best = i;
+            }
+        }
+        if (best == -1) return new SearchHint(firstLegalColumn(), 0, 0);
+
+        // Win rate for the side to move, turned into a score from Yellow's point of view
+        double winRate = bestVisits > 0 ? reward(arena.stats.get(best)) / (2.0 * bestVisits) : 0.5;
+        boolean redsTurn = (rootMoves % 2) == 0;
+        double yellowRate = redsTurn ? 1 - winRate : winRate;
+        int score = (int) Math.round((yellowRate - 0.5) * 2000);
+
+        // depth of the most visited line
+        int depth = 0;
+        for (int node = best; node != -1; node = arena.mostVisitedChild(node)) {
+            depth++;
+        }
+        return new SearchHint(arena.move[best] + 1, score, depth);
+    }
+
+    private int firstLegalColumn() {
+        for (int col : ORDER) {
+            if ((rootMask & topMask(col)) == 0) return col + 1;
+        }
+        return -1;
+    }
+
+    private static int visits(long stats) {
+        return (int) (stats >>> 32);
+    }
+
+    private static int reward(long stats) {
+        return (int) stats;
+    }
+
+    private static long columnMask(int col) {
+        return ((1L << 6) - 1) << (col * 7);
+    }
+
+    private static long topMask(int col) {
+        return 1L << (5 + col * 7);
+    }
+
+    // Preallocated node storage, one slot per index in each array
+    private static final class NodeArena {
+        final int capacity;
+        final AtomicIntegerArray firstChild; // UNEXPANDED, EXPANDING, NO_ROOM or the first child
+        final byte[] childCount;
+        final byte[] move;     // column (0-6) played to reach the node
+        final byte[] terminal; // NONE, WIN (the move completed four) or DRAW
+        final AtomicLongArray stats;
+        private final AtomicInteger size = new AtomicInteger();
+
+        NodeArena(int capacity) {
+            this.capacity = capacity;
+            firstChild = new AtomicIntegerArray(capacity);
+            childCount = new byte[capacity];
+            move = new byte[capacity];
+            terminal = new byte[capacity];
+            stats = new AtomicLongArray(capacity);
+        }
+
+        // Reserves count consecutive nodes, or returns -1 if the arena is full
+        int allocate(int count) {
+            int start = size.getAndAdd(count);
+            return start + count <= capacity ? start : -1;
+        }
+
+        int size() {
+            return Math.min(size.get(), capacity);
+        }
+
+        void clear() {
+            size.set(0);
+        }
+
+        void init(int node, int col, byte term) {
+            move[node] = (byte) col;
+            terminal[node] = term;
+            childCount[node] = 0;
+            stats.set(node, 0);
+            firstChild.set(node, UNEXPANDED);
+        }
+
+        void copyNode(NodeArena from, int src, int dst) {
+            move[dst] = from.move[src];
+            terminal[dst] = from.terminal[src];
+            childCount[dst] = 0;
+            stats.set(dst, from.stats.get(src));
+            firstChild.set(dst, UNEXPANDED);
+        }
+
+        // Returns the child of node reached by playing col, or -1 if it isn't in the tree
+        int child(int node, int col) {
+            int first = firstChild.get(node);
+            for (int i = first; first >= 0 && i < first + childCount[node]; i++) {
+                if (move[i] == col) return i;
+            }
+            return -1;
+        }
+
+        int mostVisitedChild(int node) {
+            int first = firstChild.get(node);
+            int best = -1;
+            int bestVisits = 0;
+            for (int i = first; first >= 0 && i < first + childCount[node]; i++) {
+                int visits = (int) (stats.get(i) >>> 32);
+                if (visits > bestVisits) {
+                    bestVisits = visits;
+                    best = i;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+import java.util.Random;
+
+// Counts the positions minimax visits with and without the static threat cutoffs
+// (proven wins, claimeven, forced blocks) on random late-middlegame positions.
+// Both searches run to the bot's full depth without a decision cache.
+//
+// Usage: java NodeCountBenchmark [positions] [seed]
+public class NodeCountBenchmark {
+    private static final int MIN_MOVES = 16;
+    private static final int MAX_MOVES = 24;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        Random random = new Random(args.length > 1 ? Long.parseLong(args[1]) : 42);
+
+        Connect4Bot withCutoffs = new Connect4Bot(Connect4Bot.MAX_DEPTH, null);
+        Connect4Bot without = new Connect4Bot(Connect4Bot.MAX_DEPTH, null);
+        without.setThreatCutoffs(false);
+
+        long totalWith = 0, totalWithout = 0;
+        int sameMove = 0;
+        System.out.printf("%-4s %-6s %14s %14s %8s  %s%n", "#", "moves", "no cutoffs", "cutoffs", "ratio", "column");
+        for (int i = 0; i < count; i++) {
+            Position position = latePosition(random);
+
+            int before = without.getBestMove(position, null);
+            long nodesWithout = without.getNodeCount();
+            int after = withCutoffs.getBestMove(position, null);
+            long nodesWith = withCutoffs.getNodeCount();
+
+            totalWithout += nodesWithout;
+            totalWith += nodesWith;
+            if (before == after) sameMove++;
+            System.out.printf("%-4d %-6d %,14d %,14d %7.1fx  %d -> %d%n", i + 1, position.getMoveCount(),
+                    nodesWithout, nodesWith, (double) nodesWithout / Math.max(nodesWith, 1), before, after);
+        }
+
+        System.out.println();
+        System.out.printf("total: %,d -> %,d nodes (%.1fx fewer), same column in %d of %d positions%n",
+                totalWithout, totalWith, (double) totalWithout / Math.max(totalWith, 1), sameMove, count);
+    }
+
+    // A random game stopped between MIN_MOVES and MAX_MOVES moves that is still open
+    private static Position latePosition(Random random) {
+        while (true) {
+            GameState state = new GameState();
+            int moves = MIN_MOVES + random.nextInt(MAX_MOVES - MIN_MOVES + 1);
+            while (state.getMoveCount() < moves && !state.getGameOver()) {
+                state.move(1 + random.nextInt(7));
+            }
+            if (!state.getGameOver()) return state.snapshot();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+// Immutable snapshot of a GameState, packed into a few longs.
+// All fields are final, so a Position can be handed to other threads (bot searches, painting)
+// without locks; the version tells whether the game has changed since it was taken.
+public final class Position {
+    // Bitboard layout: bit (col * 7 + row), row 6 of every column is an always-empty sentinel
+    static final long BOTTOM = 0x40810204081L; // lowest cell of every column
+    static final long BOARD = BOTTOM * ((1L << 6) - 1);
+
+    private final long red;    // bit (col * 7 + row) set for every red piece
+    private final long yellow; // same layout for yellow pieces
+    // Columns (0-6) of the moves in the order they were played, 3 bits each, 21 moves per long
+    private final long history0;
+    private final long history1;
+    private final int moveCount;
+    private final boolean gameOver;
+    private final boolean redWins;
+    private final boolean yellowWins;
+    private final String error;
+    private final long version;
+
+    Position(long red, long yellow, long history0, long history1, int moveCount,
+             boolean gameOver, boolean redWins, boolean yellowWins, String error, long version) {
+        this.red = red;
+        this.yellow = yellow;
+        this.history0 = history0;
+        this.history1 = history1;
+        this.moveCount = moveCount;
+        this.gameOver = gameOver;
+        this.redWins = redWins;
+        this.yellowWins = yellowWins;
+        this.error = error;
+        this.version = version;
+    }
+
+    // true = red, false = yellow, null = no piece (same as GameState's board)
+    public Boolean getPiece(int col, int row) {
+        long bit = 1L << (col * 7 + row);
+        if ((red & bit) != 0) return Boolean.TRUE;
+        if ((yellow & bit) != 0) return Boolean.FALSE;
+        return null;
+    }
+
+    public long getRedBits() {
+        return red;
+    }
+
+    public long getYellowBits() {
+        return yellow;
+    }
+
+    // Number of pieces in the column (0-6)
+    public int getHeight(int col) {
+        return Long.bitCount(((red | yellow) >>> (col * 7)) & 0x3F);
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    // Column (0-6) of the i-th move of the game
+    public int getMove(int i) {
+        return (int) (i < 21 ? history0 >>> (3 * i) : history1 >>> (3 * (i - 21))) & 7;
+    }
+
+    public boolean isColumnFull(int col) {
+        if (col < 1 || col > 7) return true;
+        return getHeight(col - 1) == 6;
+    }
+
+    public boolean getRedsTurn() {
+        return moveCount % 2 == 0;
+    }
+
+    public boolean getGameOver() {
+        return gameOver;
+    }
+
+    public boolean getRedWins() {
+        return redWins;
+    }
+
+    public boolean getYellowWins() {
+        return yellowWins;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // true if the pieces in p contain four in a row
+    static boolean isWin(long p) {
+        long m = p & (p >> 7); // horizontal
+        if ((m & (m >> 14)) != 0) return true;
+        m = p & (p >> 6);      // diagonal ( \ )
+        if ((m & (m >> 12)) != 0) return true;
+        m = p & (p >> 8);      // diagonal ( / )
+        if ((m & (m >> 16)) != 0) return true;
+        m = p & (p >> 1);      // vertical
+        return (m & (m >> 2)) != 0;
+    }
+
+    // Empty cells that would complete four in a row for the stones in p
+    static long winningCells(long p, long mask) {
+        // vertical
+        long r = (p << 1) & (p << 2) & (p << 3);
+        // horizontal and both diagonals
+        for (int s = 6; s <= 8; s++) {
+            long q = (p << s) & (p << 2 * s);
+            r |= q & (p << 3 * s);
+            r |= q & (p >> s);
+            q = (p >> s) & (p >> 2 * s);
+            r |= q & (p << s);
+            r |= q & (p >> 3 * s);
+        }
+        return r & (BOARD ^ mask);
+    }
+}
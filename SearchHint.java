@@ -0,0 +1,29 @@
+// Immutable snapshot of an in-flight search, safe to hand from the search thread to the EDT
+public class SearchHint {
+    private final int column; // best column so far (1-7)
+    private final int score;  // from Yellow's point of view, positive is good for Yellow
+    private final int depth;  // search depth completed
+
+    public SearchHint(int column, int score, int depth) {
+        this.column = column;
+        this.score = score;
+        this.depth = depth;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    // true if the score is a proven win for one side rather than a heuristic estimate
+    public boolean isDecisive() {
+        return Math.abs(score) >= Connect4Bot.PROVEN_WIN_SCORE;
+    }
+}
@@ -0,0 +1,5 @@
+// Receives intermediate results while the bot is searching.
+// Called on the search thread, so implementations must hand the hint over to the EDT themselves.
+public interface SearchListener {
+    void iterationFinished(SearchHint hint);
+}
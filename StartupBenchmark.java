@@ -0,0 +1,94 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Launches the game repeatedly in a fresh JVM with -Dconnect4.startupProbe and reports the
+// median time from launch to the first painted frame and to the first bot move, and how long
+// that first bot search itself took.
+// Every configuration runs with the engine warm-up skipped, racing the first move (as in a
+// normal launch) and finished before the first move, so the effect of the warm-up is visible.
+// If an AppCDS archive exists (see build.sh) every run is repeated with the archive.
+// Needs a display, like the game itself.
+//
+// Usage: java StartupBenchmark [runs] [archive]
+public class StartupBenchmark {
+    private static final String DEFAULT_ARCHIVE = "build/connect4.jsa";
+    // probe modes and their labels, see StartupProbe
+    private static final String[][] WARM_UP_MODES = {{"cold", "no warm-up"}, {"", "warm-up racing"}, {"warm", "warm-up finished"}};
+    private static final String[] EVENTS = {"first-frame", "bot-search-start", "first-bot-move"};
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String archive = args.length > 1 ? args[1] : DEFAULT_ARCHIVE;
+
+        for (String[] mode : WARM_UP_MODES) {
+            report("no CDS, " + mode[1], runs, null, mode[0]);
+        }
+        if (new File(archive).exists()) {
+            for (String[] mode : WARM_UP_MODES) {
+                report("AppCDS, " + mode[1], runs, archive, mode[0]);
+            }
+        } else {
+            System.out.println("(no " + archive + ", run build.sh to compare with an AppCDS archive)");
+        }
+    }
+
+    private static void report(String label, int runs, String archive, String mode) throws IOException, InterruptedException {
+        long[] firstFrame = new long[runs];
+        long[] firstBotMove = new long[runs];
+        long[] botSearch = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long[] times = launch(archive, mode);
+            firstFrame[i] = times[0];
+            firstBotMove[i] = times[2];
+            botSearch[i] = times[1] >= 0 && times[2] >= 0 ? times[2] - times[1] : -1;
+        }
+        System.out.printf("%-26s first-frame %5d ms   first-bot-move %5d ms   bot-search %5d ms   (median of %d)%n",
+                label, median(firstFrame), median(firstBotMove), median(botSearch), runs);
+    }
+
+    // Returns the times of EVENTS in ms after launch, -1 if the event was not seen
+    private static long[] launch(String archive, String mode) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        if (archive != null) command.add("-XX:SharedArchiveFile=" + archive);
+        command.add("-Dconnect4.startupProbe=" + mode);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("Connect4UI");
+
+        long[] times = new long[EVENTS.length];
+        Arrays.fill(times, -1);
+        StringBuilder output = new StringBuilder();
+        long launched = System.currentTimeMillis();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                String[] parts = line.split(" ");
+                if (parts.length != 3 || !parts[0].equals("STARTUP")) {
+                    output.append(line).append(System.lineSeparator());
+                    continue;
+                }
+                int event = Arrays.asList(EVENTS).indexOf(parts[1]);
+                if (event >= 0) times[event] = Long.parseLong(parts[2]) - launched;
+            }
+        }
+        process.waitFor();
+        // e.g. no display: the medians would be meaningless, so show why the game failed instead
+        if (times[EVENTS.length - 1] == -1) {
+            throw new IllegalStateException("The game exited before its first bot move:" + System.lineSeparator() + output);
+        }
+        return times;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
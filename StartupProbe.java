@@ -0,0 +1,24 @@
+import java.util.HashSet;
+import java.util.Set;
+
+// Startup timing for StartupBenchmark, enabled with -Dconnect4.startupProbe.
+// When enabled the game plays one human move and one bot move on its own, then exits.
+// The value picks what happens to the engine warm-up:
+//   (none)  as in a normal launch, the warm-up runs while the bot makes its first move
+//   cold    no warm-up at all
+//   warm    the first move waits until the warm-up has finished
+public class StartupProbe {
+    public static final String MODE = System.getProperty("connect4.startupProbe");
+    public static final boolean ENABLED = MODE != null;
+    public static final boolean SKIP_WARM_UP = "cold".equals(MODE);
+    public static final boolean WAIT_FOR_WARM_UP = "warm".equals(MODE);
+
+    private static final Set<String> marked = new HashSet<>();
+
+    // Prints the wall-clock time of the first occurrence of an event, e.g. "STARTUP first-frame 1700000000000".
+    // The benchmark subtracts its own launch time, so JVM startup is included.
+    public static synchronized void mark(String event) {
+        if (!ENABLED || !marked.add(event)) return;
+        System.out.println("STARTUP " + event + " " + System.currentTimeMillis());
+    }
+}
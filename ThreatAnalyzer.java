@@ -0,0 +1,171 @@
+public class ThreatAnalyzer {
+
+    // Outcomes that can be proven from the static position alone
+    public enum Outcome {
+        UNKNOWN,
+        YELLOW_WINS,          // Yellow wins by answering every Red move in the same column (claimeven)
+        YELLOW_AT_LEAST_DRAW, // Red can never complete a line while Yellow plays claimeven
+        DRAW                  // Every line on the board is already blocked by both colors
+    }
+
+    // Every window of four cells on the board, stored as {col, row} pairs
+    private static final int[][][] LINES = buildLines();
+
+    private final GameState state;
+    private final boolean redsTurn;
+    private final int[] heights = new int[7];
+
+    // threats[col][row] is true if dropping that color into the empty cell completes four in a row
+    private final boolean[][] redThreats = new boolean[7][6];
+    private final boolean[][] yellowThreats = new boolean[7][6];
+
+    // Open windows (no opposing pieces) containing 2 or 3 pieces of one color
+    private int redTwos, redThrees, yellowTwos, yellowThrees;
+
+    private boolean anyLiveLine;
+    // Lines each side would complete if Yellow answered every Red move directly on top of it
+    private boolean redLiveUnderClaimeven;
+    private boolean yellowWinsUnderClaimeven;
+
+    public ThreatAnalyzer(GameState state) {
+        this.state = state;
+        redsTurn = state.getRedsTurn();
+
+        for (int c = 0; c < 7; c++) {
+            int h = 0;
+            while (h < 6 && state.getPiece(c, h) != null) h++;
+            heights[c] = h;
+        }
+
+        for (int[][] line : LINES) {
+            analyzeLine(line);
+        }
+    }
+
+    private void analyzeLine(int[][] line) {
+        int red = 0;
+        int yellow = 0;
+        int emptyCol = -1, emptyRow = -1;
+        // Under claimeven Red gets the empty cells on rows 1, 3, 5 (row index 0, 2, 4)
+        // and Yellow gets the ones on rows 2, 4, 6
+        boolean emptiesOnRedRows = true;
+        boolean emptiesOnYellowRows = true;
+
+        for (int[] cell : line) {
+            Boolean piece = state.getPiece(cell[0], cell[1]);
+            if (piece == null) {
+                emptyCol = cell[0];
+                emptyRow = cell[1];
+                if (cell[1] % 2 == 0) emptiesOnYellowRows = false;
+                else emptiesOnRedRows = false;
+            } else if (piece) {
+                red++;
+            } else {
+                yellow++;
+            }
+        }
+
+        if (yellow == 0) {
+            anyLiveLine = true;
+            if (emptiesOnRedRows) redLiveUnderClaimeven = true;
+            if (red == 3) {
+                redThreats[emptyCol][emptyRow] = true;
+                redThrees++;
+            } else if (red == 2) {
+                redTwos++;
+            }
+        }
+        if (red == 0) {
+            anyLiveLine = true;
+            if (emptiesOnYellowRows) yellowWinsUnderClaimeven = true;
+            if (yellow == 3) {
+                yellowThreats[emptyCol][emptyRow] = true;
+                yellowThrees++;
+            } else if (yellow == 2) {
+                yellowTwos++;
+            }
+        }
+    }
+
+    // Returns the static outcome of the position, assuming the game is not already over
+    public Outcome getOutcome() {
+        if (!anyLiveLine) return Outcome.DRAW;
+
+        // Claimeven only works for Yellow when Red is to move and every column
+        // has an even number of pieces, so Yellow can always reply on top
+        if (redsTurn && allHeightsEven() && !redLiveUnderClaimeven) {
+            return yellowWinsUnderClaimeven ? Outcome.YELLOW_WINS : Outcome.YELLOW_AT_LEAST_DRAW;
+        }
+        return Outcome.UNKNOWN;
+    }
+
+    private boolean allHeightsEven() {
+        for (int h : heights) {
+            if (h % 2 != 0) return false;
+        }
+        return true;
+    }
+
+    // Returns a column (1-7) where the specified color wins immediately, or -1 if there is none
+    public int immediateWinColumn(boolean color) {
+        boolean[][] threats = color ? redThreats : yellowThreats;
+        for (int c = 0; c < 7; c++) {
+            if (heights[c] < 6 && threats[c][heights[c]]) return c + 1;
+        }
+        return -1;
+    }
+
+    // Counts the threats of the specified color that can be played right now
+    public int playableThreatCount(boolean color) {
+        boolean[][] threats = color ? redThreats : yellowThreats;
+        int count = 0;
+        for (int c = 0; c < 7; c++) {
+            if (heights[c] < 6 && threats[c][heights[c]]) count++;
+        }
+        return count;
+    }
+
+    // Counts threat cells of the specified color on odd rows (1, 3, 5) or even rows (2, 4, 6),
+    // counting rows from 1 at the bottom. Red wants odd threats, Yellow wants even threats.
+    public int threatCount(boolean color, boolean oddRows) {
+        boolean[][] threats = color ? redThreats : yellowThreats;
+        int count = 0;
+        for (int c = 0; c < 7; c++) {
+            for (int r = oddRows ? 0 : 1; r < 6; r += 2) {
+                if (threats[c][r]) count++;
+            }
+        }
+        return count;
+    }
+
+    public int getOpenTwos(boolean color) {
+        return color ? redTwos : yellowTwos;
+    }
+
+    public int getOpenThrees(boolean color) {
+        return color ? redThrees : yellowThrees;
+    }
+
+    private static int[][][] buildLines() {
+        int[][][] lines = new int[69][][];
+        int n = 0;
+        for (int c = 0; c < 7; c++) {
+            for (int r = 0; r < 6; r++) {
+                // horizontal, vertical, diagonal ( / ) and diagonal ( \ )
+                if (c + 3 < 7) lines[n++] = line(c, r, 1, 0);
+                if (r + 3 < 6) lines[n++] = line(c, r, 0, 1);
+                if (c + 3 < 7 && r + 3 < 6) lines[n++] = line(c, r, 1, 1);
+                if (c + 3 < 7 && r - 3 >= 0) lines[n++] = line(c, r, 1, -1);
+            }
+        }
+        return lines;
+    }
+
+    private static int[][] line(int c, int r, int dc, int dr) {
+        int[][] cells = new int[4][];
+        for (int k = 0; k < 4; k++) {
+            cells[k] = new int[]{c + k * dc, r + k * dr};
+        }
+        return cells;
+    }
+}